@@ -2,21 +2,46 @@ package io.github.vishalmysore.tools4ai.client;
 
 
 import io.github.vishalmysore.tools4ai.domain.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class ACPClient {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(2);
+    public static final Duration DEFAULT_RUN_TIMEOUT = Duration.ofMinutes(10);
+
     private final String baseUrl;
     private final RestTemplate restTemplate;
 
     public ACPClient(String baseUrl) {
+        this(baseUrl, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * @param baseUrl base URL of the ACP server
+     * @param connectTimeout maximum time to establish a connection
+     * @param readTimeout maximum time to wait for a response, SYNC runs must finish within it
+     */
+    public ACPClient(String baseUrl, Duration connectTimeout, Duration readTimeout) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        this.restTemplate = new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) connectTimeout.toMillis());
+        requestFactory.setReadTimeout((int) readTimeout.toMillis());
+        this.restTemplate = new RestTemplate(requestFactory);
     }
 
     /**
@@ -64,12 +89,7 @@ public class ACPClient {
      * @return run result
      */
     public Run executeSync(String agentName, List<Message> input) {
-        RunCreateRequest request = new RunCreateRequest();
-        request.setAgentName(agentName);
-        request.setMode(RunRequestMode.SYNC);
-        request.setInput(input);
-
-        return restTemplate.postForObject(baseUrl + "/runs", request, Run.class);
+        return createRun(agentName, input, RunRequestMode.SYNC);
     }
 
     /**
@@ -79,30 +99,68 @@ public class ACPClient {
      * @return CompletableFuture that completes when the run is finished
      */
     public CompletableFuture<Run> executeAsync(String agentName, List<Message> input) {
+        return executeAsync(agentName, input, 1000, ForkJoinPool.commonPool()); // Poll every second
+    }
+
+    /**
+     * Create and execute a run asynchronously
+     * @param agentName name of the agent to run
+     * @param input list of input messages
+     * @param pollIntervalMillis delay between status polls
+     * @param executor executor that performs the polling
+     * @return CompletableFuture that completes when the run is finished
+     */
+    public CompletableFuture<Run> executeAsync(String agentName, List<Message> input,
+                                               long pollIntervalMillis, Executor executor) {
+        Run initialRun = createRun(agentName, input, RunRequestMode.ASYNC);
+        return CompletableFuture.supplyAsync(() -> awaitRun(initialRun.getRunId(), pollIntervalMillis, DEFAULT_RUN_TIMEOUT), executor);
+    }
+
+    /**
+     * Create a run without waiting for it to finish
+     * @param agentName name of the agent to run
+     * @param input list of input messages
+     * @param mode execution mode requested from the server
+     * @return run as returned by the server
+     */
+    public Run createRun(String agentName, List<Message> input, RunRequestMode mode) {
         RunCreateRequest request = new RunCreateRequest();
         request.setAgentName(agentName);
-        request.setMode(RunRequestMode.ASYNC);
+        request.setMode(mode);
         request.setInput(input);
 
-        Run initialRun = restTemplate.postForObject(baseUrl + "/runs", request, Run.class);
-        
-        return CompletableFuture.supplyAsync(() -> {
-            Run run;
-            do {
-                try {
-                    Thread.sleep(1000); // Poll every second
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while waiting for run completion", e);
-                }
-                
-                run = getRun(initialRun.getRunId());
-            } while (run != null && 
-                    (RunStatus.CREATED.toString().equals(run.getStatus()) || 
-                     RunStatus.IN_PROGRESS.toString().equals(run.getStatus())));
-            
-            return run;
-        });
+        return restTemplate.postForObject(baseUrl + "/runs", request, Run.class);
+    }
+
+    /**
+     * Block the calling thread, polling until the run leaves the CREATED and IN_PROGRESS states.
+     * The first poll is made immediately, later ones every pollIntervalMillis.
+     * @param runId ID of the run
+     * @param pollIntervalMillis delay between status polls
+     * @param timeout how long to wait for the run to finish
+     * @return final run status and results
+     * @throws RunTimeoutException if the run is still unfinished when the timeout expires
+     */
+    public Run awaitRun(UUID runId, long pollIntervalMillis, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Run run = getRun(runId);
+        while (run != null &&
+                (RunStatus.CREATED.equals(run.getStatus()) ||
+                 RunStatus.IN_PROGRESS.equals(run.getStatus()))) {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new RunTimeoutException("Run " + runId + " did not finish within " + timeout);
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for run completion", e);
+            }
+
+            run = getRunIfChanged(run);
+        }
+
+        return run;
     }
 
     /**
@@ -114,6 +172,40 @@ public class ACPClient {
         return restTemplate.getForObject(baseUrl + "/runs/" + runId, Run.class);
     }
 
+    /**
+     * Get the current status of a run, reusing a previously fetched copy while its version is unchanged
+     * @param known previously fetched run
+     * @return current run status and results
+     */
+    public Run getRunIfChanged(Run known) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"" + known.getVersion() + "\"");
+        ResponseEntity<Run> response = restTemplate.exchange(baseUrl + "/runs/" + known.getRunId(),
+                HttpMethod.GET, new HttpEntity<>(headers), Run.class);
+        return response.getStatusCode().value() == 304 ? known : response.getBody();
+    }
+
+    /**
+     * List runs oldest first, optionally filtered
+     * @param agentName only runs of this agent, or null
+     * @param status only runs in this status, or null
+     * @param createdAfter only runs created after this time, or null
+     * @param limit maximum number of runs to return
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @return page of runs with the cursor of the next page
+     */
+    public RunsListResponse listRuns(String agentName, RunStatus status, OffsetDateTime createdAfter, int limit, String cursor) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/runs")
+                .queryParamIfPresent("agent", Optional.ofNullable(agentName))
+                .queryParamIfPresent("status", Optional.ofNullable(status))
+                .queryParamIfPresent("createdAfter", Optional.ofNullable(createdAfter).map(OffsetDateTime::toInstant))
+                .queryParam("limit", limit)
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .toUriString();
+
+        return restTemplate.getForObject(url, RunsListResponse.class);
+    }
+
     /**
      * Cancel a running execution
      * @param runId ID of the run to cancel
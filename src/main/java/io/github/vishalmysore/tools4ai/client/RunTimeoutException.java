@@ -0,0 +1,10 @@
+package io.github.vishalmysore.tools4ai.client;
+
+/**
+ * Thrown when a run is still CREATED or IN_PROGRESS after the caller's wait deadline.
+ */
+public class RunTimeoutException extends IllegalStateException {
+    public RunTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -17,6 +17,8 @@ import jakarta.annotation.PostConstruct;
 import lombok.extern.java.Log;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.concurrent.CompletableFuture;
@@ -40,12 +42,15 @@ public class ACPController extends RealTimeAgentCardController {
     
     private AIProcessor baseAIProcessor = null;
     private List<AgentManifest> agentManifests = new ArrayList<>();
-    private Map<UUID, Run> runQueue = new ConcurrentHashMap<>();
+    private RunStore runStore;
     private Map<UUID, CompletableFuture<Void>> runningTasks = new ConcurrentHashMap<>();
     
     @Value("${server.port:8080}")
     private String serverPort;
 
+    @Value("${acp.runs.max-retained:" + RunStore.DEFAULT_MAX_RUNS + "}")
+    private int maxRetainedRuns;
+
     public ACPController(ApplicationContext context) {
         super(context);
     }
@@ -53,6 +58,7 @@ public class ACPController extends RealTimeAgentCardController {
     @PostConstruct
     public void init() {
         log.info("Initializing ACPController...");
+        runStore = new RunStore(maxRetainedRuns);
         Map<GroupInfo, String> groupActions = PredictionLoader.getInstance().getActionGroupList().getGroupActions();
         Map<String, AIAction> predictions = PredictionLoader.getInstance().getPredictions();
 
@@ -164,12 +170,15 @@ public class ACPController extends RealTimeAgentCardController {
     }
 
     @PostMapping("/runs")
-    public ResponseEntity<Run> createRun(@RequestBody RunCreateRequest request) {
+    public ResponseEntity<RunSnapshot> createRun(@RequestBody RunCreateRequest request) {
         AIAction action = PredictionLoader.getInstance().getPredictions().entrySet().stream()
                 .filter(entry -> entry.getKey().equalsIgnoreCase(request.getAgentName()))
                 .map(Map.Entry::getValue)
                 .findFirst()
                 .orElse(null);
+        if (action == null) {
+            return ResponseEntity.notFound().build();
+        }
         Run run = new Run();
         run.setRunId(UUID.randomUUID());
         run.setAgentName(request.getAgentName());
@@ -191,13 +200,11 @@ public class ACPController extends RealTimeAgentCardController {
             } else if (RunRequestMode.ASYNC.equals(request.getMode())) {
                 // Asynchronous processing
                 run.setStatus(RunStatus.IN_PROGRESS);
-                runQueue.put(run.getRunId(), run);
+                RunSnapshot accepted = runStore.add(run);
+                UUID runId = accepted.runId();
                 
                 CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
                     try {
-                        // Update status to in-progress
-                        run.setStatus(RunStatus.IN_PROGRESS);
-                        
                         // Process the request
                         Object obj = baseAIProcessor.processSingleAction(request.toString(),action,new LoggingHumanDecision(), new LogginggExplainDecision());
                         
@@ -208,21 +215,26 @@ public class ACPController extends RealTimeAgentCardController {
                         message.setRole(MessageRole.AGENT);
                         message.addPart(part);
                         
-                        // Update run with result
-                        run.addOutput(message);
-                        run.setStatus(RunStatus.COMPLETED);
-                        run.setFinishedAt(OffsetDateTime.now());
+                        // Publish the result as one snapshot so readers never see it half applied
+                        runStore.update(runId, completed -> {
+                            completed.addOutput(message);
+                            completed.setStatus(RunStatus.COMPLETED);
+                            completed.setFinishedAt(OffsetDateTime.now());
+                        });
                         
                     } catch (Exception e) {
                         log.severe("Error processing async run: " + e.getMessage());
-                        run.setStatus(RunStatus.FAILED);
-                        run.setError(createError("processing_error", e.getMessage()));
-                        run.setFinishedAt(OffsetDateTime.now());
+                        runStore.update(runId, failed -> {
+                            failed.setStatus(RunStatus.FAILED);
+                            failed.setError(createError("processing_error", e.getMessage()));
+                            failed.setFinishedAt(OffsetDateTime.now());
+                        });
                     }
                 });
                 
-                runningTasks.put(run.getRunId(), future);
-                return ResponseEntity.accepted().body(run);
+                runningTasks.put(runId, future);
+                future.whenComplete((ignored, failure) -> runningTasks.remove(runId));
+                return ResponseEntity.accepted().eTag(eTagOf(accepted)).body(accepted);
             }
 
         } catch (AIProcessingException e) {
@@ -231,16 +243,45 @@ public class ACPController extends RealTimeAgentCardController {
             run.setFinishedAt(OffsetDateTime.now());
         }
         
-        return ResponseEntity.ok(run);
+        RunSnapshot finished = runStore.add(run);
+        return ResponseEntity.ok().eTag(eTagOf(finished)).body(finished);
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<RunStore.Page> listRuns(
+            @RequestParam(required = false) String agent,
+            @RequestParam(required = false) RunStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdAfter,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > RunStore.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(runStore.query(agent, status, createdAfter, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/runs/{runId}")
-    public ResponseEntity<Run> getRun(@PathVariable UUID runId) {
-        Run run = runQueue.get(runId);
+    public ResponseEntity<RunSnapshot> getRun(
+            @PathVariable UUID runId,
+            @RequestParam(required = false) Long since) {
+        RunSnapshot run = runStore.get(runId);
         if (run == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(run);
+        String eTag = eTagOf(run);
+        if (since != null && run.version() <= since) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        // If-None-Match is answered with 304 by Spring from the ETag on the response
+        return ResponseEntity.ok().eTag(eTag).body(run);
+    }
+
+    private String eTagOf(RunSnapshot run) {
+        return "\"" + run.version() + "\"";
     }
     
     private Error createError(String code, String message) {
@@ -0,0 +1,302 @@
+package io.github.vishalmysore.tools4ai.controller;
+
+import io.github.vishalmysore.tools4ai.domain.Run;
+import io.github.vishalmysore.tools4ai.domain.RunSnapshot;
+import io.github.vishalmysore.tools4ai.domain.RunStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Holds all runs together with time-ordered secondary indexes on agent name and status.
+ * Every run is kept in four indexes: all runs, runs of its agent, runs in its status and
+ * runs of its agent in its status. Agent names are indexed case-insensitively, matching how
+ * runs are routed to agents.
+ * <p>
+ * At most maxRuns runs are retained. Once the limit is passed the oldest finished runs
+ * (COMPLETED, FAILED or CANCELLED) are removed from the store and from every index. Runs that
+ * are still in flight are never evicted, so the limit can be exceeded while more than maxRuns
+ * runs are in progress.
+ * <p>
+ * Runs are stored as immutable {@link RunSnapshot}s. Every change goes through {@link #update},
+ * which applies it to a mutable copy, bumps the version and publishes the result as a new
+ * snapshot. Reads are lock-free: they only load the current snapshot from a volatile field.
+ * Writers of the same run are serialized on that run's holder and keep the indexes in step
+ * with the published status.
+ */
+public class RunStore {
+
+    public static final int DEFAULT_MAX_RUNS = 10_000;
+    /** Largest page {@link #query} callers should ask for, enforced by the HTTP endpoints. */
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final List<RunStatus> FINISHED = List.of(RunStatus.COMPLETED, RunStatus.FAILED, RunStatus.CANCELLED);
+
+    private final Map<UUID, Holder> runs = new ConcurrentHashMap<>();
+    private final Map<IndexKey, NavigableSet<RunKey>> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxRuns;
+
+    public RunStore() {
+        this(DEFAULT_MAX_RUNS);
+    }
+
+    /**
+     * @param maxRuns number of runs to retain before the oldest finished runs are evicted
+     */
+    public RunStore(int maxRuns) {
+        if (maxRuns < 1) {
+            throw new IllegalArgumentException("maxRuns must be positive");
+        }
+        this.maxRuns = maxRuns;
+    }
+
+    /**
+     * Publish the first snapshot of a new run. The run is copied, so the caller keeps ownership
+     * of the object it passed in; later changes must go through {@link #update}.
+     * @param run new run
+     * @return published snapshot
+     */
+    public RunSnapshot add(Run run) {
+        RunSnapshot snapshot = RunSnapshot.of(run, 1);
+        RunKey key = keyOf(snapshot);
+        addToIndex(null, null, key);
+        addToIndex(snapshot.agentName(), null, key);
+        if (snapshot.status() != null) {
+            addToIndex(null, snapshot.status(), key);
+            addToIndex(snapshot.agentName(), snapshot.status(), key);
+        }
+        runs.put(snapshot.runId(), new Holder(snapshot));
+        if (size.incrementAndGet() > maxRuns) {
+            evictFinished();
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /** Number of non-empty indexes, which stays proportional to the agents and statuses of retained runs. */
+    int indexCount() {
+        return indexes.size();
+    }
+
+    /**
+     * @param runId ID of the run
+     * @return current snapshot, or null if the run does not exist or was evicted
+     */
+    public RunSnapshot get(UUID runId) {
+        Holder current = runs.get(runId);
+        return current == null ? null : current.snapshot;
+    }
+
+    /**
+     * Apply a change to a copy of the current snapshot and publish it as the next version.
+     * @param runId ID of the run
+     * @param change modifications to make, applied to a private mutable copy
+     * @return published snapshot, or null if the run does not exist
+     * @throws IllegalStateException if the change modifies runId, agentName or createdAt, which
+     *         identify the run in the indexes; nothing is published in that case
+     */
+    public RunSnapshot update(UUID runId, Consumer<Run> change) {
+        Holder current = runs.get(runId);
+        if (current == null) {
+            return null;
+        }
+        synchronized (current) {
+            if (runs.get(runId) != current) {
+                return null;  // evicted while waiting for the lock
+            }
+            RunSnapshot previous = current.snapshot;
+            Run draft = previous.toRun();
+            change.accept(draft);
+            if (!Objects.equals(draft.getRunId(), previous.runId())
+                    || !Objects.equals(draft.getAgentName(), previous.agentName())
+                    || !Objects.equals(draft.getCreatedAt(), previous.createdAt())) {
+                throw new IllegalStateException("runId, agentName and createdAt of run " + runId + " cannot be changed");
+            }
+            RunSnapshot next = RunSnapshot.of(draft, previous.version() + 1);
+
+            RunKey key = keyOf(previous);
+            RunStatus status = next.status();
+            // Add before publishing and remove after, so a concurrent query never misses the run;
+            // a stale index entry is filtered out on read against the current snapshot
+            if (status != previous.status() && status != null) {
+                addToIndex(null, status, key);
+                addToIndex(previous.agentName(), status, key);
+            }
+            current.snapshot = next;
+            if (status != previous.status() && previous.status() != null) {
+                removeFromIndex(null, previous.status(), key);
+                removeFromIndex(previous.agentName(), previous.status(), key);
+            }
+            return next;
+        }
+    }
+
+    /**
+     * List runs oldest first.
+     * @param agentName only runs of this agent, or null for all agents
+     * @param status only runs in this status, or null for any status
+     * @param createdAfter only runs created strictly after this time, or null
+     * @param limit maximum number of runs to return
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @return page of runs and the cursor of the next page, null when there are no more runs
+     */
+    public Page query(String agentName, RunStatus status, OffsetDateTime createdAfter, int limit, String cursor) {
+        NavigableSet<RunKey> index = indexes.getOrDefault(IndexKey.of(agentName, status), Collections.emptyNavigableSet());
+
+        RunKey from = null;
+        if (createdAfter != null) {
+            from = new RunKey(createdAfter.toInstant(), null);
+        }
+        if (cursor != null) {
+            RunKey after = decodeCursor(cursor);
+            if (from == null || after.compareTo(from) > 0) {
+                from = after;
+            }
+        }
+
+        List<RunSnapshot> page = new ArrayList<>();
+        RunKey last = null;
+        boolean more = false;
+        for (RunKey key : from == null ? index : index.tailSet(from, false)) {
+            RunSnapshot run = get(key.runId());
+            if (run == null || (status != null && run.status() != status)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                more = true;
+                break;
+            }
+            page.add(run);
+            last = key;
+        }
+
+        return new Page(List.copyOf(page), more ? encodeCursor(last) : null);
+    }
+
+    /**
+     * Evict the oldest finished runs until the store is back within maxRuns. Each round picks the
+     * oldest head of the finished status indexes, so the cost does not depend on how many runs exist.
+     */
+    private void evictFinished() {
+        while (size.get() > maxRuns) {
+            RunKey oldest = null;
+            for (RunStatus status : FINISHED) {
+                NavigableSet<RunKey> index = indexes.get(new IndexKey(null, status));
+                RunKey head = index == null ? null : index.ceiling(RunKey.FIRST);
+                if (head != null && (oldest == null || head.compareTo(oldest) < 0)) {
+                    oldest = head;
+                }
+            }
+            if (oldest == null || !evict(oldest)) {
+                return;  // only in-flight runs left, or a concurrent transition; retry on the next add
+            }
+        }
+    }
+
+    private boolean evict(RunKey key) {
+        Holder current = runs.get(key.runId());
+        if (current == null) {
+            return false;  // another thread is evicting it
+        }
+        synchronized (current) {
+            RunSnapshot run = current.snapshot;
+            if (!FINISHED.contains(run.status()) || !runs.remove(key.runId(), current)) {
+                return false;
+            }
+            size.decrementAndGet();
+            removeFromIndex(null, null, key);
+            removeFromIndex(run.agentName(), null, key);
+            removeFromIndex(null, run.status(), key);
+            removeFromIndex(run.agentName(), run.status(), key);
+            return true;
+        }
+    }
+
+    // Both run inside the map's per-key lock, so an index is never dropped while a run is being added to it
+    private void addToIndex(String agentName, RunStatus status, RunKey key) {
+        indexes.compute(IndexKey.of(agentName, status), (k, index) -> {
+            NavigableSet<RunKey> target = index == null ? new ConcurrentSkipListSet<>() : index;
+            target.add(key);
+            return target;
+        });
+    }
+
+    /** Remove a run from an index, dropping the index once it is empty so agents that are gone leave nothing behind. */
+    private void removeFromIndex(String agentName, RunStatus status, RunKey key) {
+        indexes.computeIfPresent(IndexKey.of(agentName, status), (k, index) -> {
+            index.remove(key);
+            return index.isEmpty() ? null : index;
+        });
+    }
+
+    private static RunKey keyOf(RunSnapshot run) {
+        return new RunKey(run.createdAt().toInstant(), run.runId());
+    }
+
+    private static String encodeCursor(RunKey key) {
+        String raw = key.createdAt() + "|" + key.runId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RunKey decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new RunKey(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /** One page of {@link #query}, serialized like RunsListResponse. */
+    public record Page(List<RunSnapshot> runs, String nextCursor) {
+    }
+
+    /**
+     * Current snapshot of one run. Readers load it without locking; writers replace it while
+     * holding this object's monitor, so a plain volatile field is enough.
+     */
+    private static final class Holder {
+        volatile RunSnapshot snapshot;
+
+        Holder(RunSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    /** Index selector, a null field matches any value. Build with {@link #of} so agent names are normalized. */
+    private record IndexKey(String agentName, RunStatus status) {
+        static IndexKey of(String agentName, RunStatus status) {
+            return new IndexKey(agentName == null ? null : agentName.toLowerCase(Locale.ROOT), status);
+        }
+    }
+
+    /** Orders runs by creation time, a null runId sorts after every run created at the same instant. */
+    private record RunKey(Instant createdAt, UUID runId) implements Comparable<RunKey> {
+        static final RunKey FIRST = new RunKey(Instant.MIN, null);
+
+        @Override
+        public int compareTo(RunKey other) {
+            int byTime = createdAt.compareTo(other.createdAt);
+            if (byTime != 0 || Objects.equals(runId, other.runId)) {
+                return byTime;
+            }
+            if (runId == null || other.runId == null) {
+                return runId == null ? 1 : -1;
+            }
+            return runId.compareTo(other.runId);
+        }
+    }
+}
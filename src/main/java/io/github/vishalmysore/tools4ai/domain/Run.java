@@ -5,6 +5,11 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Mutable run, as read by clients and as the draft of a change. The controller's RunStore
+ * publishes runs as immutable {@link RunSnapshot}s with the same JSON fields; change a stored
+ * run through RunStore.update.
+ */
 @Data
 public class Run {
     private String agentName;
@@ -16,6 +21,7 @@ public class Run {
     private Error error;
     private OffsetDateTime createdAt;
     private OffsetDateTime finishedAt;
+    private long version;  // incremented on every published change, usable as a change token
 
     public void addOutput(Message message) {
         if(this.output == null) {
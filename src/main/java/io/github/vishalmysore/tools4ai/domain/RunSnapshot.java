@@ -0,0 +1,115 @@
+package io.github.vishalmysore.tools4ai.domain;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable published state of a {@link Run}, serialized with the same fields as Run. Output
+ * messages, their parts and the error are copied into immutable records as well, so a snapshot
+ * cannot change after it is published. The opaque values (awaitRequest, part metadata and error
+ * data) are taken over as they are and must not be modified once set.
+ * <p>
+ * Snapshots are built from a Run draft with {@link #of} and turned back into a fresh draft with
+ * {@link #toRun}, which is how the controller's RunStore publishes changes.
+ */
+public record RunSnapshot(
+        String agentName,
+        UUID sessionId,
+        UUID runId,
+        RunStatus status,
+        Object awaitRequest,
+        List<MessageSnapshot> output,
+        ErrorSnapshot error,
+        OffsetDateTime createdAt,
+        OffsetDateTime finishedAt,
+        long version) {
+
+    /**
+     * @param run draft to copy
+     * @param version version the snapshot is published as
+     * @return snapshot holding copies of the draft's messages and error
+     */
+    public static RunSnapshot of(Run run, long version) {
+        return new RunSnapshot(run.getAgentName(), run.getSessionId(), run.getRunId(), run.getStatus(),
+                run.getAwaitRequest(),
+                run.getOutput() == null ? null : run.getOutput().stream().map(MessageSnapshot::of).toList(),
+                ErrorSnapshot.of(run.getError()), run.getCreatedAt(), run.getFinishedAt(), version);
+    }
+
+    /**
+     * @return mutable copy of this snapshot, sharing nothing mutable with it
+     */
+    public Run toRun() {
+        Run run = new Run();
+        run.setAgentName(agentName);
+        run.setSessionId(sessionId);
+        run.setRunId(runId);
+        run.setStatus(status);
+        run.setAwaitRequest(awaitRequest);
+        if (output != null) {
+            run.setOutput(new ArrayList<>(output.stream().map(MessageSnapshot::toMessage).toList()));
+        }
+        run.setError(error == null ? null : error.toError());
+        run.setCreatedAt(createdAt);
+        run.setFinishedAt(finishedAt);
+        run.setVersion(version);
+        return run;
+    }
+
+    /** Immutable copy of a {@link Message}. */
+    public record MessageSnapshot(MessageRole role, List<PartSnapshot> parts, OffsetDateTime createdAt, OffsetDateTime completedAt) {
+        static MessageSnapshot of(Message message) {
+            return new MessageSnapshot(message.getRole(),
+                    message.getParts() == null ? null : message.getParts().stream().map(PartSnapshot::of).toList(),
+                    message.getCreatedAt(), message.getCompletedAt());
+        }
+
+        Message toMessage() {
+            Message message = new Message();
+            message.setRole(role);
+            if (parts != null) {
+                message.setParts(new ArrayList<>(parts.stream().map(PartSnapshot::toPart).toList()));
+            }
+            message.setCreatedAt(createdAt);
+            message.setCompletedAt(completedAt);
+            return message;
+        }
+    }
+
+    /** Immutable copy of a {@link MessagePart}. */
+    public record PartSnapshot(String name, String contentType, String content, String contentEncoding,
+                               String contentUrl, Object metadata) {
+        static PartSnapshot of(MessagePart part) {
+            return new PartSnapshot(part.getName(), part.getContentType(), part.getContent(), part.getContentEncoding(),
+                    part.getContentUrl(), part.getMetadata());
+        }
+
+        MessagePart toPart() {
+            MessagePart part = new MessagePart();
+            part.setName(name);
+            part.setContentType(contentType);
+            part.setContent(content);
+            part.setContentEncoding(contentEncoding);
+            part.setContentUrl(contentUrl);
+            part.setMetadata(metadata);
+            return part;
+        }
+    }
+
+    /** Immutable copy of an {@link Error}. */
+    public record ErrorSnapshot(String code, String message, Object data) {
+        static ErrorSnapshot of(Error error) {
+            return error == null ? null : new ErrorSnapshot(error.getCode(), error.getMessage(), error.getData());
+        }
+
+        Error toError() {
+            Error error = new Error();
+            error.setCode(code);
+            error.setMessage(message);
+            error.setData(data);
+            return error;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.vishalmysore.tools4ai.domain;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RunsListResponse {
+    private List<Run> runs;
+    private String nextCursor;
+}
@@ -0,0 +1,94 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import io.github.vishalmysore.tools4ai.client.ACPClient;
+import io.github.vishalmysore.tools4ai.domain.AgentManifest;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Command line entry point for load testing an ACP server.
+ *
+ * <pre>
+ * --mode=SYNC|ASYNC|BATCH   traffic shape (default SYNC)
+ * --rate=50                 operations started per second
+ * --duration=30             seconds of load
+ * --batch-size=10           runs per BATCH operation
+ * --concurrency=256         client threads
+ * --poll-interval=50        ms between status polls for ASYNC and BATCH runs
+ * --timeout=30              seconds before a request or an ASYNC/BATCH run counts as timed out
+ * --agents=echo:20,slow:100-500,flaky:10-50:0.05:4096
+ *                           stub agents as name:latency[:failureRate[:outputSize]]
+ * --server-threads=64       request threads of the embedded stub server
+ * --url=http://host:8080    drive an already running server instead of the embedded one
+ * --target-agents=a,b       agents to call on that server (default: all listed by /agents)
+ * </pre>
+ */
+public class ACPLoadTest {
+    private static final String DEFAULT_AGENTS = "echo:20,slow:100-500,flaky:10-50:0.05:4096";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+
+        LoadTestConfig config = new LoadTestConfig();
+        config.setMode(LoadMode.valueOf(options.getOrDefault("mode", config.getMode().name()).toUpperCase()));
+        config.setRatePerSecond(Double.parseDouble(options.getOrDefault("rate", String.valueOf(config.getRatePerSecond()))));
+        config.setDurationSeconds(Long.parseLong(options.getOrDefault("duration", String.valueOf(config.getDurationSeconds()))));
+        config.setBatchSize(Integer.parseInt(options.getOrDefault("batch-size", String.valueOf(config.getBatchSize()))));
+        config.setConcurrency(Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(config.getConcurrency()))));
+        config.setPollIntervalMillis(Long.parseLong(options.getOrDefault("poll-interval", String.valueOf(config.getPollIntervalMillis()))));
+        config.setTimeoutSeconds(Long.parseLong(options.getOrDefault("timeout", String.valueOf(config.getTimeoutSeconds()))));
+
+        // RestTemplate uses HttpURLConnection, which only keeps a handful of idle connections per host by default
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(config.getConcurrency()));
+        }
+
+        StubACPServer server = null;
+        String baseUrl = options.get("url");
+        try {
+            if (baseUrl == null) {
+                List<StubAgent> agents = new ArrayList<>();
+                for (String spec : options.getOrDefault("agents", DEFAULT_AGENTS).split(",")) {
+                    agents.add(StubAgent.parse(spec));
+                }
+                int serverThreads = Integer.parseInt(options.getOrDefault("server-threads", "64"));
+                server = new StubACPServer(0, serverThreads, agents);
+                server.start();
+                baseUrl = server.getBaseUrl();
+                config.setEmbeddedServer(true);
+            }
+
+            ACPClient client = new ACPClient(baseUrl, ACPClient.DEFAULT_CONNECT_TIMEOUT, Duration.ofSeconds(config.getTimeoutSeconds()));
+            if (!client.ping()) {
+                System.out.println("Server is not available at " + baseUrl);
+                return;
+            }
+            if (options.containsKey("target-agents")) {
+                config.setAgentNames(Arrays.asList(options.get("target-agents").split(",")));
+            } else {
+                config.setAgentNames(client.listAgents(1000, 0).stream().map(AgentManifest::getName).toList());
+            }
+
+            System.out.println("Running load test against " + baseUrl + "...");
+            LoadTestReport report = new LoadGenerator(client, config).run();
+            System.out.println(report.summary());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unrecognised argument '" + arg + "', expected --name=value");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import io.github.vishalmysore.tools4ai.client.ACPClient;
+import io.github.vishalmysore.tools4ai.client.RunTimeoutException;
+import io.github.vishalmysore.tools4ai.domain.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: operations are started on a fixed schedule derived from the target rate,
+ * whether or not earlier operations have returned. Latency is measured from the scheduled start time,
+ * so a stalled server shows up in the percentiles instead of silently lowering the offered load.
+ * Operations that time out, or are still running when the drain timeout ends, are counted as
+ * errors and recorded with the latency they had reached, so they land in the upper percentiles.
+ */
+public class LoadGenerator {
+    private final ACPClient client;
+    private final LoadTestConfig config;
+    private final List<Message> input;
+
+    private final LatencyRecorder correctedLatency = new LatencyRecorder();
+    private final LatencyRecorder serviceTime = new LatencyRecorder();
+    private final LongAdder runsCompleted = new LongAdder();
+    private final LongAdder runsFailed = new LongAdder();
+    private final LongAdder operationErrors = new LongAdder();
+    private final LongAdder operationTimeouts = new LongAdder();
+    private final LongAdder operationsCompleted = new LongAdder();
+    // Scheduled start of every operation that has not finished yet, keyed by sequence number.
+    // Removing an entry claims the right to record that operation, so it is counted exactly once.
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    public LoadGenerator(ACPClient client, LoadTestConfig config) {
+        if (config.getAgentNames() == null || config.getAgentNames().isEmpty()) {
+            throw new IllegalArgumentException("At least one agent name is required");
+        }
+        if (config.getRatePerSecond() <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.client = client;
+        this.config = config;
+
+        MessagePart part = new MessagePart();
+        part.setContentType("text/plain");
+        part.setContent(config.getInputText());
+        Message message = new Message();
+        message.setRole(MessageRole.USER);
+        message.addPart(part);
+        this.input = List.of(message);
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor(daemonThreads("acp-load-heap"));
+        heapSampler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+        // Daemon workers, because a thread blocked in a socket read ignores shutdownNow and would keep the JVM alive
+        ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency(), daemonThreads("acp-load-worker"));
+
+        List<String> agentNames = config.getAgentNames();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        long issued = 0;
+        while (true) {
+            long intendedStart = start + issued * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            String agentName = agentNames.get((int) (issued % agentNames.size()));
+            long sequence = issued;
+            pending.put(sequence, intendedStart);
+            workers.execute(() -> execute(sequence, agentName, intendedStart));
+            issued++;
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(config.getDrainTimeoutSeconds(), TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        long drainEnd = System.nanoTime();
+        for (Long sequence : pending.keySet()) {
+            Long intendedStart = pending.remove(sequence);
+            if (intendedStart != null) {
+                correctedLatency.record(drainEnd - intendedStart);
+                operationTimeouts.increment();
+                firstError.compareAndSet(null, "Operation unfinished after the " + config.getDrainTimeoutSeconds() + "s drain timeout");
+            }
+        }
+        long elapsed = drainEnd - start;
+        heapSampler.shutdownNow();
+
+        LoadTestReport report = new LoadTestReport();
+        report.setConfig(config);
+        report.setElapsedSeconds(elapsed / 1_000_000_000.0);
+        report.setOperationsIssued(issued);
+        report.setOperationsCompleted(operationsCompleted.sum());
+        report.setOperationErrors(operationErrors.sum());
+        report.setOperationTimeouts(operationTimeouts.sum());
+        report.setRunsCompleted(runsCompleted.sum());
+        report.setRunsFailed(runsFailed.sum());
+        report.setFirstError(firstError.get());
+        report.setCorrectedLatency(correctedLatency.summarize());
+        report.setServiceTime(serviceTime.summarize());
+        report.setEndHeapUsedBytes(memory.getHeapMemoryUsage().getUsed());
+        report.setPeakHeapUsedBytes(Math.max(peakHeap.get(), report.getEndHeapUsedBytes()));
+        report.setMaxHeapBytes(memory.getHeapMemoryUsage().getMax());
+        return report;
+    }
+
+    private void execute(long sequence, String agentName, long intendedStart) {
+        long actualStart = System.nanoTime();
+        try {
+            List<Run> runs = switch (config.getMode()) {
+                case SYNC -> List.of(client.executeSync(agentName, input));
+                case ASYNC -> List.of(awaitAsyncRun(agentName));
+                case BATCH -> runBatch(agentName);
+            };
+            long finished = System.nanoTime();
+            if (pending.remove(sequence) == null) {
+                return;  // already counted as a timeout at the end of the drain
+            }
+            operationsCompleted.increment();
+            correctedLatency.record(finished - intendedStart);
+            serviceTime.record(finished - actualStart);
+            for (Run run : runs) {
+                if (run != null && RunStatus.COMPLETED.equals(run.getStatus())) {
+                    runsCompleted.increment();
+                } else {
+                    runsFailed.increment();
+                }
+            }
+        } catch (Exception e) {
+            long failed = System.nanoTime();
+            if (pending.remove(sequence) == null) {
+                return;
+            }
+            if (isTimeout(e)) {
+                operationTimeouts.increment();
+                correctedLatency.record(failed - intendedStart);
+            } else {
+                operationErrors.increment();
+            }
+            firstError.compareAndSet(null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RunTimeoutException || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Run awaitAsyncRun(String agentName) {
+        Run run = client.createRun(agentName, input, RunRequestMode.ASYNC);
+        return client.awaitRun(run.getRunId(), config.getPollIntervalMillis(), Duration.ofSeconds(config.getTimeoutSeconds()));
+    }
+
+    private List<Run> runBatch(String agentName) {
+        List<Run> created = new ArrayList<>(config.getBatchSize());
+        for (int i = 0; i < config.getBatchSize(); i++) {
+            created.add(client.createRun(agentName, input, RunRequestMode.ASYNC));
+        }
+        List<Run> finished = new ArrayList<>(created.size());
+        for (Run run : created) {
+            finished.add(client.awaitRun(run.getRunId(), config.getPollIntervalMillis(), Duration.ofSeconds(config.getTimeoutSeconds())));
+        }
+        return finished;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+public enum LoadMode {
+    SYNC,
+    ASYNC,
+    BATCH  // batchSize ASYNC runs created together, measured until the last one finishes
+}
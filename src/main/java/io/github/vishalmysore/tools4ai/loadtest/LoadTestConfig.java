@@ -0,0 +1,20 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LoadTestConfig {
+    private LoadMode mode = LoadMode.SYNC;
+    private List<String> agentNames;  // round-robin target agents
+    private double ratePerSecond = 50;  // operations started per second, independent of response times
+    private long durationSeconds = 30;
+    private int batchSize = 10;
+    private int concurrency = 256;  // client threads, operations beyond this queue and the wait counts as latency
+    private long pollIntervalMillis = 50;
+    private long drainTimeoutSeconds = 60;  // operations still running after this count as timeouts
+    private long timeoutSeconds = 30;  // client read timeout and deadline for each ASYNC or BATCH run
+    private String inputText = "Hello, agent!";
+    private boolean embeddedServer;  // server shares this JVM, so heap figures cover it too
+}
@@ -0,0 +1,71 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import lombok.Data;
+
+@Data
+public class LoadTestReport {
+    private LoadTestConfig config;
+    private double elapsedSeconds;
+    private long operationsIssued;
+    private long operationsCompleted;
+    private long operationErrors;  // transport or HTTP errors, the operation produced no run result
+    private long operationTimeouts;  // timed out, or still running when the drain ended; included in the latencies
+    private long runsCompleted;
+    private long runsFailed;  // runs that finished with a status other than COMPLETED
+    private String firstError;
+    private LatencySummary correctedLatency;  // measured from the scheduled start, includes client queueing
+    private LatencySummary serviceTime;  // measured from the actual send, hides coordinated omission
+    // Heap of the load generator's own JVM, which includes the server only when it is embedded
+    private long peakHeapUsedBytes;
+    private long endHeapUsedBytes;
+    private long maxHeapBytes;
+
+    public double getOperationsPerSecond() {
+        return elapsedSeconds > 0 ? operationsCompleted / elapsedSeconds : 0;
+    }
+
+    public double getRunsPerSecond() {
+        return elapsedSeconds > 0 ? (runsCompleted + runsFailed) / elapsedSeconds : 0;
+    }
+
+    public double getErrorRate() {
+        long total = runsCompleted + runsFailed + operationErrors + operationTimeouts;
+        return total > 0 ? (double) (runsFailed + operationErrors + operationTimeouts) / total : 0;
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Mode %s, target %.1f ops/s for %ds against %s%n",
+                config.getMode(), config.getRatePerSecond(), config.getDurationSeconds(), config.getAgentNames()));
+        sb.append(String.format("Operations: %d issued, %d completed, %d errors, %d timeouts in %.2fs%n",
+                operationsIssued, operationsCompleted, operationErrors, operationTimeouts, elapsedSeconds));
+        sb.append(String.format("Throughput: %.1f ops/s, %.1f runs/s%n", getOperationsPerSecond(), getRunsPerSecond()));
+        sb.append(String.format("Runs: %d completed, %d failed, error rate %.2f%%%n",
+                runsCompleted, runsFailed, getErrorRate() * 100));
+        sb.append("Corrected latency (ms): ").append(correctedLatency.format()).append(System.lineSeparator());
+        sb.append("Service time (ms):      ").append(serviceTime.format()).append(System.lineSeparator());
+        if (config.isEmbeddedServer()) {
+            sb.append(String.format("Load generator JVM heap (client and embedded stub server): peak %.1f MB, end %.1f MB, max %.1f MB%n",
+                    peakHeapUsedBytes / 1048576.0, endHeapUsedBytes / 1048576.0, maxHeapBytes / 1048576.0));
+        }
+        if (firstError != null) {
+            sb.append("First error: ").append(firstError).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    @Data
+    public static class LatencySummary {
+        private double meanMillis;
+        private double p50Millis;
+        private double p90Millis;
+        private double p99Millis;
+        private double p999Millis;
+        private double maxMillis;
+
+        public String format() {
+            return String.format("mean %.2f  p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f",
+                    meanMillis, p50Millis, p90Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+}
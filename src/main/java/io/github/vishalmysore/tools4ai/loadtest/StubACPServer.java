@@ -0,0 +1,215 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.vishalmysore.tools4ai.controller.RunStore;
+import io.github.vishalmysore.tools4ai.domain.*;
+import io.github.vishalmysore.tools4ai.domain.Error;
+import lombok.extern.java.Log;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Embedded server backed by {@link StubAgent}s instead of an AI processor, so that load tests are
+ * repeatable and need neither a Spring context nor model credentials. It implements the subset of
+ * the ACP controller's protocol the load generator uses, with the same semantics: {@code GET /ping},
+ * {@code GET /agents} (always the full list, paging is ignored), {@code POST /runs} with
+ * case-insensitive agent names, {@code GET /runs} and {@code GET /runs/{runId}} with {@code since}
+ * and {@code If-None-Match}. Cancelling runs and {@code GET /agents/{name}} are not supported.
+ * Runs are kept in the same {@link RunStore} the controller uses, so its cost is part of what
+ * gets measured.
+ */
+@Log
+public class StubACPServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService completionScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, StubAgent> agents = new LinkedHashMap<>();  // keyed by lower-cased name
+    private final RunStore runStore = new RunStore();
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * @param port port to listen on, 0 picks a free port
+     * @param serverThreads number of threads handling HTTP requests, SYNC runs hold one for their whole latency
+     * @param stubAgents agents to serve
+     */
+    public StubACPServer(int port, int serverThreads, List<StubAgent> stubAgents) throws IOException {
+        for (StubAgent agent : stubAgents) {
+            agents.put(agent.getName().toLowerCase(Locale.ROOT), agent);
+        }
+        requestExecutor = Executors.newFixedThreadPool(serverThreads);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(requestExecutor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Stub ACP server started on " + getBaseUrl() + " with agents "
+                + agents.values().stream().map(StubAgent::getName).toList());
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        completionScheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if ("GET".equals(method) && "/ping".equals(path)) {
+                sendJson(exchange, 200, Map.of("status", "ok"));
+            } else if ("GET".equals(method) && "/agents".equals(path)) {
+                AgentsListResponse response = new AgentsListResponse();
+                response.setAgents(agents.values().stream().map(this::toManifest).toList());
+                sendJson(exchange, 200, response);
+            } else if ("POST".equals(method) && "/runs".equals(path)) {
+                createRun(exchange, mapper.readValue(exchange.getRequestBody(), RunCreateRequest.class));
+            } else if ("GET".equals(method) && "/runs".equals(path)) {
+                listRuns(exchange, queryParams(exchange));
+            } else if ("GET".equals(method) && path.startsWith("/runs/")) {
+                RunSnapshot run = runStore.get(UUID.fromString(path.substring("/runs/".length())));
+                String since = queryParams(exchange).get("since");
+                if (run == null) {
+                    sendEmpty(exchange, 404);
+                } else if ((since != null && run.version() <= Long.parseLong(since))
+                        || eTagOf(run).equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.getResponseHeaders().set("ETag", eTagOf(run));
+                    sendEmpty(exchange, 304);
+                } else {
+                    exchange.getResponseHeaders().set("ETag", eTagOf(run));
+                    sendJson(exchange, 200, run);
+                }
+            } else {
+                sendEmpty(exchange, 404);
+            }
+        } catch (IllegalArgumentException e) {
+            sendEmpty(exchange, 400);
+        } catch (Exception e) {
+            log.severe("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            sendEmpty(exchange, 500);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createRun(HttpExchange exchange, RunCreateRequest request) throws IOException, InterruptedException {
+        StubAgent agent = request.getAgentName() == null ? null : agents.get(request.getAgentName().toLowerCase(Locale.ROOT));
+        if (agent == null) {
+            sendEmpty(exchange, 404);
+            return;
+        }
+        Run run = new Run();
+        run.setRunId(UUID.randomUUID());
+        run.setAgentName(agent.getName());
+        run.setCreatedAt(OffsetDateTime.now());
+
+        if (RunRequestMode.ASYNC.equals(request.getMode())) {
+            run.setStatus(RunStatus.IN_PROGRESS);
+            RunSnapshot accepted = runStore.add(run);
+            completionScheduler.schedule(() -> runStore.update(accepted.runId(), pending -> finish(pending, agent)),
+                    agent.nextLatencyMillis(), TimeUnit.MILLISECONDS);
+            sendJson(exchange, 202, accepted);
+        } else {
+            Thread.sleep(agent.nextLatencyMillis());
+            finish(run, agent);
+            sendJson(exchange, 200, runStore.add(run));
+        }
+    }
+
+    private void listRuns(HttpExchange exchange, Map<String, String> params) throws IOException {
+        int limit = Integer.parseInt(params.getOrDefault("limit", "10"));
+        if (limit < 1 || limit > RunStore.MAX_PAGE_SIZE) {
+            sendEmpty(exchange, 400);
+            return;
+        }
+        String status = params.get("status");
+        String createdAfter = params.get("createdAfter");
+        OffsetDateTime after;
+        try {
+            after = createdAfter == null ? null : OffsetDateTime.parse(createdAfter);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid createdAfter: " + createdAfter, e);
+        }
+        sendJson(exchange, 200, runStore.query(params.get("agent"), status == null ? null : RunStatus.valueOf(status),
+                after, limit, params.get("cursor")));
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private void finish(Run run, StubAgent agent) {
+        if (agent.nextRunFails()) {
+            Error error = new Error();
+            error.setCode("processing_error");
+            error.setMessage("Simulated failure from stub agent " + agent.getName());
+            run.setError(error);
+            run.setStatus(RunStatus.FAILED);
+        } else {
+            MessagePart part = new MessagePart();
+            part.setContentType("text/plain");
+            part.setContent("x".repeat(agent.getOutputSize()));
+            Message message = new Message();
+            message.setRole(MessageRole.AGENT);
+            message.addPart(part);
+            run.addOutput(message);
+            run.setStatus(RunStatus.COMPLETED);
+        }
+        run.setFinishedAt(OffsetDateTime.now());
+    }
+
+    private AgentManifest toManifest(StubAgent agent) {
+        AgentManifest manifest = new AgentManifest();
+        manifest.setName(agent.getName());
+        manifest.setDescription("Stub agent with " + agent.getMinLatencyMillis() + "-" + agent.getMaxLatencyMillis()
+                + "ms latency and " + agent.getFailureRate() + " failure rate");
+        manifest.setInputContentTypes(List.of("text/plain"));
+        manifest.setOutputContentTypes(List.of("text/plain"));
+        return manifest;
+    }
+
+    private String eTagOf(RunSnapshot run) {
+        return "\"" + run.version() + "\"";
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+}
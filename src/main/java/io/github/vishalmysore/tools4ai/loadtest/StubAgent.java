@@ -0,0 +1,79 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import lombok.Data;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fake agent served by {@link StubACPServer}. Latency is fixed when min and max are equal,
+ * otherwise drawn uniformly from [min, max] for every run.
+ */
+@Data
+public class StubAgent {
+    private String name;
+    private long minLatencyMillis;
+    private long maxLatencyMillis;
+    private double failureRate;
+    private int outputSize = 64;
+
+    public long nextLatencyMillis() {
+        if (maxLatencyMillis <= minLatencyMillis) {
+            return minLatencyMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(minLatencyMillis, maxLatencyMillis + 1);
+    }
+
+    public boolean nextRunFails() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    /**
+     * Parse an agent spec of the form {@code name:latency[:failureRate[:outputSize]]}
+     * where latency is either a fixed value ({@code 50}) or a range ({@code 10-200}) in milliseconds.
+     * @param spec agent spec
+     * @return configured stub agent
+     */
+    public static StubAgent parse(String spec) {
+        String[] fields = spec.trim().split(":");
+        if (fields.length < 2 || fields.length > 4 || fields[0].isBlank()) {
+            throw invalid(spec, "expected name:latency[:failureRate[:outputSize]]");
+        }
+        StubAgent agent = new StubAgent();
+        agent.setName(fields[0]);
+
+        try {
+            String[] latency = fields[1].split("-", -1);
+            if (latency.length > 2) {
+                throw invalid(spec, "latency must be a value or a min-max range");
+            }
+            agent.setMinLatencyMillis(Long.parseLong(latency[0]));
+            agent.setMaxLatencyMillis(Long.parseLong(latency[latency.length - 1]));
+            if (fields.length > 2) {
+                agent.setFailureRate(Double.parseDouble(fields[2]));
+            }
+            if (fields.length > 3) {
+                agent.setOutputSize(Integer.parseInt(fields[3]));
+            }
+        } catch (NumberFormatException e) {
+            throw invalid(spec, e.getMessage());
+        }
+
+        if (agent.getMinLatencyMillis() < 0) {
+            throw invalid(spec, "latency must not be negative");
+        }
+        if (agent.getMaxLatencyMillis() < agent.getMinLatencyMillis()) {
+            throw invalid(spec, "latency range is reversed");
+        }
+        if (!(agent.getFailureRate() >= 0 && agent.getFailureRate() <= 1)) {
+            throw invalid(spec, "failureRate must be between 0 and 1");
+        }
+        if (agent.getOutputSize() < 0) {
+            throw invalid(spec, "outputSize must not be negative");
+        }
+        return agent;
+    }
+
+    private static IllegalArgumentException invalid(String spec, String reason) {
+        return new IllegalArgumentException("Invalid agent spec '" + spec + "': " + reason);
+    }
+}
@@ -0,0 +1,286 @@
+package io.github.vishalmysore.tools4ai.controller;
+
+import io.github.vishalmysore.tools4ai.domain.Error;
+import io.github.vishalmysore.tools4ai.domain.Message;
+import io.github.vishalmysore.tools4ai.domain.MessagePart;
+import io.github.vishalmysore.tools4ai.domain.MessageRole;
+import io.github.vishalmysore.tools4ai.domain.Run;
+import io.github.vishalmysore.tools4ai.domain.RunSnapshot;
+import io.github.vishalmysore.tools4ai.domain.RunStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunStoreTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final RunStore store = new RunStore();
+
+    @Test
+    void pagesByStatusAcrossStatusChange() {
+        RunSnapshot first = store.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        RunSnapshot second = store.add(run("echo", RunStatus.IN_PROGRESS, T0.plusSeconds(1)));
+        RunSnapshot third = store.add(run("echo", RunStatus.IN_PROGRESS, T0.plusSeconds(2)));
+
+        RunStore.Page page = store.query(null, RunStatus.IN_PROGRESS, null, 1, null);
+        assertEquals(List.of(first.runId()), ids(page));
+        assertNotNull(page.nextCursor());
+
+        store.update(first.runId(), run -> run.setStatus(RunStatus.COMPLETED));
+        store.update(second.runId(), run -> run.setStatus(RunStatus.COMPLETED));
+
+        RunStore.Page next = store.query(null, RunStatus.IN_PROGRESS, null, 1, page.nextCursor());
+        assertEquals(List.of(third.runId()), ids(next));
+        assertNull(next.nextCursor());
+
+        RunStore.Page completed = store.query(null, RunStatus.COMPLETED, null, 10, null);
+        assertEquals(List.of(first.runId(), second.runId()), ids(completed));
+        assertEquals(3, ids(store.query("echo", null, null, 10, null)).size());
+    }
+
+    @Test
+    void createdAfterIsStrictForEqualTimestamps() {
+        RunSnapshot a = store.add(run("echo", RunStatus.COMPLETED, T0));
+        RunSnapshot b = store.add(run("echo", RunStatus.COMPLETED, T0));
+        RunSnapshot later = store.add(run("echo", RunStatus.COMPLETED, T0.plusNanos(1)));
+
+        assertEquals(List.of(later.runId()), ids(store.query(null, null, T0, 10, null)));
+        assertEquals(3, ids(store.query(null, null, T0.minusNanos(1), 10, null)).size());
+
+        // Runs sharing an instant are still paged one by one without skipping or repeating
+        RunStore.Page page = store.query(null, null, T0.minusNanos(1), 1, null);
+        RunStore.Page next = store.query(null, null, T0.minusNanos(1), 1, page.nextCursor());
+        assertEquals(2, List.of(ids(page).get(0), ids(next).get(0)).stream().distinct().count());
+        assertTrue(List.of(a.runId(), b.runId()).containsAll(List.of(ids(page).get(0), ids(next).get(0))));
+    }
+
+    @Test
+    void cursorPastCreatedAfterWins() {
+        store.add(run("echo", RunStatus.COMPLETED, T0));
+        RunSnapshot second = store.add(run("echo", RunStatus.COMPLETED, T0.plusSeconds(1)));
+        RunSnapshot third = store.add(run("echo", RunStatus.COMPLETED, T0.plusSeconds(2)));
+
+        RunStore.Page page = store.query(null, null, T0.minusSeconds(1), 2, null);
+        assertEquals(second.runId(), ids(page).get(1));
+
+        RunStore.Page next = store.query(null, null, T0.minusSeconds(1), 2, page.nextCursor());
+        assertEquals(List.of(third.runId()), ids(next));
+    }
+
+    @Test
+    void rejectsInvalidCursor() {
+        store.add(run("echo", RunStatus.COMPLETED, T0));
+        // The controller answers these with 400 Bad Request
+        assertThrows(IllegalArgumentException.class, () -> store.query(null, null, null, 10, "not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> store.query(null, null, null, 10, encode("no-separator")));
+        assertThrows(IllegalArgumentException.class, () -> store.query(null, null, null, 10, encode("yesterday|" + UUID.randomUUID())));
+        assertThrows(IllegalArgumentException.class, () -> store.query(null, null, null, 10, encode(T0.toInstant() + "|not-a-uuid")));
+    }
+
+    @Test
+    void limitLargerThanResultHasNoNextCursor() {
+        store.add(run("echo", RunStatus.COMPLETED, T0));
+        store.add(run("echo", RunStatus.COMPLETED, T0.plusSeconds(1)));
+
+        RunStore.Page page = store.query(null, null, null, 10, null);
+        assertEquals(2, page.runs().size());
+        assertNull(page.nextCursor());
+
+        RunStore.Page exact = store.query(null, null, null, 2, null);
+        assertEquals(2, exact.runs().size());
+        assertNull(exact.nextCursor());
+    }
+
+    @Test
+    void matchesAgentNamesIgnoringCase() {
+        RunSnapshot run = store.add(run("Echo", RunStatus.IN_PROGRESS, T0));
+
+        assertEquals(List.of(run.runId()), ids(store.query("echo", null, null, 10, null)));
+        assertEquals(List.of(run.runId()), ids(store.query("ECHO", RunStatus.IN_PROGRESS, null, 10, null)));
+        assertEquals("Echo", store.get(run.runId()).agentName());
+    }
+
+    @Test
+    void evictsOldestFinishedRunsBeyondLimit() {
+        RunStore bounded = new RunStore(2);
+        RunSnapshot inFlight = bounded.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        RunSnapshot oldest = bounded.add(run("echo", RunStatus.COMPLETED, T0.plusSeconds(1)));
+        RunSnapshot newest = bounded.add(run("echo", RunStatus.FAILED, T0.plusSeconds(2)));
+
+        assertEquals(2, bounded.size());
+        assertNull(bounded.get(oldest.runId()));
+        assertNotNull(bounded.get(inFlight.runId()));
+        assertEquals(List.of(inFlight.runId(), newest.runId()), ids(bounded.query(null, null, null, 10, null)));
+        assertEquals(List.of(inFlight.runId(), newest.runId()), ids(bounded.query("echo", null, null, 10, null)));
+        assertTrue(bounded.query(null, RunStatus.COMPLETED, null, 10, null).runs().isEmpty());
+        assertNull(bounded.update(oldest.runId(), run -> run.setStatus(RunStatus.CANCELLED)));
+    }
+
+    @Test
+    void evictionDropsIndexesOfAgentsThatAreGone() {
+        RunStore bounded = new RunStore(1);
+        for (int i = 0; i < 50; i++) {
+            bounded.add(run("agent-" + i, RunStatus.COMPLETED, T0.plusSeconds(i)));
+        }
+
+        // all runs, COMPLETED, and the last agent alone and in COMPLETED
+        assertEquals(1, bounded.size());
+        assertEquals(4, bounded.indexCount());
+        assertTrue(bounded.query("agent-0", null, null, 10, null).runs().isEmpty());
+    }
+
+    @Test
+    void neverEvictsRunsInProgress() {
+        RunStore bounded = new RunStore(1);
+        RunSnapshot first = bounded.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        RunSnapshot second = bounded.add(run("echo", RunStatus.IN_PROGRESS, T0.plusSeconds(1)));
+        assertEquals(2, bounded.size());
+
+        bounded.update(first.runId(), run -> run.setStatus(RunStatus.COMPLETED));
+        bounded.add(run("echo", RunStatus.IN_PROGRESS, T0.plusSeconds(2)));
+
+        assertNull(bounded.get(first.runId()));
+        assertNotNull(bounded.get(second.runId()));
+        assertEquals(2, bounded.size());
+    }
+
+    @Test
+    void updatePublishesNewVersionWithoutTouchingPreviousSnapshot() {
+        RunSnapshot created = store.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        assertEquals(1, created.version());
+
+        Message message = new Message();
+        message.setRole(MessageRole.AGENT);
+        RunSnapshot completed = store.update(created.runId(), run -> {
+            run.addOutput(message);
+            run.setStatus(RunStatus.COMPLETED);
+            run.setFinishedAt(T0.plusSeconds(1));
+        });
+
+        assertEquals(2, completed.version());
+        assertEquals(RunStatus.COMPLETED, completed.status());
+        assertEquals(MessageRole.AGENT, completed.output().get(0).role());
+        assertSame(completed, store.get(created.runId()));
+
+        assertEquals(1, created.version());
+        assertEquals(RunStatus.IN_PROGRESS, created.status());
+        assertNull(created.output());
+        assertNull(created.finishedAt());
+    }
+
+    @Test
+    void everyUpdateBumpsVersion() {
+        RunSnapshot created = store.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        store.update(created.runId(), run -> run.setSessionId(UUID.randomUUID()));
+        RunSnapshot latest = store.update(created.runId(), run -> run.setStatus(RunStatus.COMPLETED));
+
+        assertEquals(3, latest.version());
+        assertNull(store.update(UUID.randomUUID(), run -> run.setStatus(RunStatus.COMPLETED)));
+    }
+
+    @Test
+    void updateRejectsChangesToIndexedIdentity() {
+        RunSnapshot created = store.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        UUID runId = created.runId();
+
+        assertThrows(IllegalStateException.class, () -> store.update(runId, run -> run.setRunId(UUID.randomUUID())));
+        assertThrows(IllegalStateException.class, () -> store.update(runId, run -> {
+            run.setAgentName("other");
+            run.setStatus(RunStatus.COMPLETED);
+        }));
+        assertThrows(IllegalStateException.class, () -> store.update(runId, run -> run.setCreatedAt(T0.plusSeconds(1))));
+
+        assertSame(created, store.get(runId));
+        assertEquals(List.of(runId), ids(store.query("echo", RunStatus.IN_PROGRESS, null, 10, null)));
+        assertTrue(store.query(null, RunStatus.COMPLETED, null, 10, null).runs().isEmpty());
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() throws InterruptedException {
+        RunSnapshot created = store.add(run("echo", RunStatus.IN_PROGRESS, T0));
+        int threads = 8;
+        int updatesPerThread = 500;
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread writer = new Thread(() -> {
+                for (int j = 0; j < updatesPerThread; j++) {
+                    store.update(created.runId(), run -> run.addOutput(new Message()));
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        RunSnapshot latest = store.get(created.runId());
+        assertEquals(1 + threads * updatesPerThread, latest.version());
+        assertEquals(threads * updatesPerThread, latest.output().size());
+    }
+
+    @Test
+    void snapshotsShareNothingMutable() {
+        Run source = run("echo", RunStatus.IN_PROGRESS, T0);
+        Message message = message("first");
+        source.addOutput(message);
+        RunSnapshot created = store.add(source);
+
+        // The argument is copied down to its message parts, so the caller may keep using it
+        source.setStatus(RunStatus.FAILED);
+        message.getParts().get(0).setContent("changed");
+        source.addOutput(message("second"));
+        RunSnapshot stored = store.get(created.runId());
+        assertEquals(RunStatus.IN_PROGRESS, stored.status());
+        assertEquals(1, stored.output().size());
+        assertEquals("first", stored.output().get(0).parts().get(0).content());
+        assertThrows(UnsupportedOperationException.class, () -> stored.output().add(stored.output().get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> stored.output().get(0).parts().clear());
+
+        // A draft changed in place does not reach the snapshot it was made from
+        RunSnapshot updated = store.update(created.runId(), run -> {
+            run.getOutput().get(0).getParts().get(0).setContent("edited");
+            run.setError(new Error());
+        });
+        assertEquals("first", created.output().get(0).parts().get(0).content());
+        assertNull(created.error());
+        assertEquals("edited", updated.output().get(0).parts().get(0).content());
+        assertNotNull(updated.error());
+        assertEquals(1, store.query(null, RunStatus.IN_PROGRESS, null, 10, null).runs().size());
+    }
+
+    private static Message message(String content) {
+        MessagePart part = new MessagePart();
+        part.setContent(content);
+        Message message = new Message();
+        message.setRole(MessageRole.AGENT);
+        message.addPart(part);
+        return message;
+    }
+
+    private static Run run(String agentName, RunStatus status, OffsetDateTime createdAt) {
+        Run run = new Run();
+        run.setRunId(UUID.randomUUID());
+        run.setAgentName(agentName);
+        run.setStatus(status);
+        run.setCreatedAt(createdAt);
+        return run;
+    }
+
+    private static List<UUID> ids(RunStore.Page response) {
+        return response.runs().stream().map(RunSnapshot::runId).toList();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
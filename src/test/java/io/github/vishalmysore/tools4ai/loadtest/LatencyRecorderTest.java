@@ -0,0 +1,82 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void emptyRecorderSummarizesToZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadTestReport.LatencySummary summary = recorder.summarize();
+
+        assertEquals(0, recorder.getCount());
+        assertEquals(0, summary.getP99Millis());
+        assertEquals(0, summary.getMaxMillis());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long value = 1; value <= 100; value++) {
+            recorder.record(value);
+        }
+
+        assertEquals(50, recorder.percentile(50));
+        assertEquals(90, recorder.percentile(90));
+        assertEquals(99, recorder.percentile(99));
+        assertEquals(100, recorder.percentile(99.9));
+        assertEquals(100, recorder.percentile(100));
+        assertEquals(1, recorder.percentile(0));
+    }
+
+    @Test
+    void percentileIsTheSampleAtTheCeilingRank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < 999; i++) {
+            recorder.record(1_000_000);
+        }
+        recorder.record(5_000_000_000L);
+
+        // 999 of 1000 samples are at 1 ms, so p99.9 is still 1 ms and only the max sees the outlier
+        assertWithinResolution(1_000_000, recorder.percentile(99.9));
+        assertEquals(5_000_000_000L, recorder.percentile(100));
+        assertEquals(5000.0, recorder.summarize().getMaxMillis());
+
+        recorder.record(5_000_000_000L);
+        assertWithinResolution(5_000_000_000L, recorder.percentile(99.9));
+    }
+
+    @Test
+    void largeValuesStayWithinBucketResolution() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long[] values = {129, 1_000, 65_537, 12_345_678, 987_654_321_000L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            LatencyRecorder single = new LatencyRecorder();
+            single.record(value);
+            single.record(value + 1);
+            assertWithinResolution(value, single.percentile(50));
+            recorder.record(value);
+        }
+        assertEquals(Long.MAX_VALUE / 3, recorder.percentile(100));
+    }
+
+    @Test
+    void meanAndMaxAreExact() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(1_000_000);
+        recorder.record(3_000_000);
+        recorder.record(-5);  // clock skew, counted as zero
+
+        LoadTestReport.LatencySummary summary = recorder.summarize();
+        assertEquals(3, recorder.getCount());
+        assertEquals(4.0 / 3, summary.getMeanMillis(), 1e-6);
+        assertEquals(3.0, summary.getMaxMillis());
+    }
+
+    private static void assertWithinResolution(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 64,
+                "expected " + expected + " within 1/64, was " + actual);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.vishalmysore.tools4ai.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubAgentTest {
+
+    @Test
+    void parsesFixedLatency() {
+        StubAgent agent = StubAgent.parse("echo:20");
+
+        assertEquals("echo", agent.getName());
+        assertEquals(20, agent.getMinLatencyMillis());
+        assertEquals(20, agent.getMaxLatencyMillis());
+        assertEquals(0, agent.getFailureRate());
+        assertEquals(64, agent.getOutputSize());
+        assertEquals(20, agent.nextLatencyMillis());
+    }
+
+    @Test
+    void parsesRangeFailureRateAndOutputSize() {
+        StubAgent agent = StubAgent.parse(" flaky:10-50:0.05:4096 ");
+
+        assertEquals("flaky", agent.getName());
+        assertEquals(10, agent.getMinLatencyMillis());
+        assertEquals(50, agent.getMaxLatencyMillis());
+        assertEquals(0.05, agent.getFailureRate());
+        assertEquals(4096, agent.getOutputSize());
+        for (int i = 0; i < 100; i++) {
+            long latency = agent.nextLatencyMillis();
+            assertTrue(latency >= 10 && latency <= 50, "latency " + latency);
+        }
+    }
+
+    @Test
+    void acceptsBoundaryValues() {
+        StubAgent agent = StubAgent.parse("always:0-0:1:0");
+
+        assertEquals(1.0, agent.getFailureRate());
+        assertEquals(0, agent.getOutputSize());
+        assertTrue(agent.nextRunFails());
+    }
+
+    @Test
+    void rejectsInvalidSpecs() {
+        for (String spec : new String[]{
+                "echo", ":20", "echo:20:0:64:extra",
+                "echo:abc", "echo:500-100", "echo:-5", "echo:1-2-3", "echo:10-",
+                "echo:20:1.5", "echo:20:-0.1", "echo:20:NaN",
+                "echo:20:0:-1", "echo:20:0:big"}) {
+            assertThrows(IllegalArgumentException.class, () -> StubAgent.parse(spec), spec);
+        }
+    }
+}